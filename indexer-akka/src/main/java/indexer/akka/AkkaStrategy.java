@@ -0,0 +1,147 @@
+package indexer.akka;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.routing.RoundRobinPool;
+import indexer.HierarchyIndex;
+import indexer.exec.ExecutionConfig;
+import indexer.exec.ExecutionStrategy;
+import indexer.extract.Extractor;
+import indexer.source.SourceUnit;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Map/Reduce на акторах из Lab8: пул мапперов с round-robin роутером и один редьюсер.
+ * Редьюсер завершает Future, когда получит результаты по всем файлам, или с ошибкой при первом сбое маппера.
+ */
+public class AkkaStrategy implements ExecutionStrategy {
+
+    static class MapTask {
+        final SourceUnit unit;
+
+        MapTask(SourceUnit unit) {
+            this.unit = unit;
+        }
+    }
+
+    static class MapResult {
+        final HierarchyIndex partialResult;
+
+        MapResult(HierarchyIndex partialResult) {
+            this.partialResult = partialResult;
+        }
+    }
+
+    static class MapFailure {
+        final Throwable cause;
+
+        MapFailure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    static class Mapper extends AbstractActor {
+        private final Extractor extractor;
+
+        Mapper(Extractor extractor) {
+            this.extractor = extractor;
+        }
+
+        @Override
+        public Receive createReceive() {
+            return receiveBuilder()
+                    .match(MapTask.class, this::processMapTask)
+                    .build();
+        }
+
+        private void processMapTask(MapTask task) {
+            // Исключение наружу не выпускаем: супервизор перезапустил бы актор, сообщение потерялось бы,
+            // и редьюсер ждал бы недостающий результат вечно
+            Object reply;
+            try {
+                reply = new MapResult(extractor.scan(task.unit));
+            } catch (Throwable e) {
+                reply = new MapFailure(e);
+            }
+            getSender().tell(reply, getSelf());
+        }
+    }
+
+    static class Reducer extends AbstractActor {
+        private final HierarchyIndex globalIndex = new HierarchyIndex();
+        private final int totalTasks;
+        private final CompletableFuture<HierarchyIndex> result;
+        private int resultsReceived = 0;
+
+        Reducer(int totalTasks, CompletableFuture<HierarchyIndex> result) {
+            this.totalTasks = totalTasks;
+            this.result = result;
+        }
+
+        @Override
+        public Receive createReceive() {
+            return receiveBuilder()
+                    .match(MapResult.class, this::reduceResult)
+                    .match(MapFailure.class, this::fail)
+                    .build();
+        }
+
+        private void fail(MapFailure msg) {
+            result.completeExceptionally(msg.cause);
+            getContext().stop(getSelf());
+        }
+
+        private void reduceResult(MapResult msg) {
+            globalIndex.merge(msg.partialResult);
+            resultsReceived++;
+            if (resultsReceived == totalTasks) {
+                result.complete(globalIndex);
+                getContext().stop(getSelf());
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "akka";
+    }
+
+    @Override
+    public HierarchyIndex run(Stream<SourceUnit> units, Extractor extractor, ExecutionConfig config) throws InterruptedException {
+        List<SourceUnit> files = units.toList();
+        if (files.isEmpty()) {
+            return new HierarchyIndex();
+        }
+
+        ActorSystem system = ActorSystem.create("MapReduceSystem");
+        try {
+            CompletableFuture<HierarchyIndex> result = new CompletableFuture<>();
+            ActorRef reducer = system.actorOf(Props.create(Reducer.class, files.size(), result), "reducer");
+            ActorRef mapperRouter = system.actorOf(
+                    new RoundRobinPool(config.threads()).props(Props.create(Mapper.class, extractor)),
+                    "mapperRouter");
+
+            for (SourceUnit file : files) {
+                mapperRouter.tell(new MapTask(file), reducer);
+            }
+            return result.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            system.terminate();
+            try {
+                system.getWhenTerminated().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                System.err.println("Акторная система не остановилась: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package indexer.akka;
+
+import indexer.HierarchyIndex;
+import indexer.Indexer;
+import indexer.exec.SequentialStrategy;
+import indexer.exec.Strategies;
+import indexer.extract.Extractor;
+import indexer.extract.RegexExtractor;
+import indexer.source.GeneratedSource;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AkkaStrategyTest {
+
+    @Test
+    void registeredThroughServiceLoader() {
+        assertInstanceOf(AkkaStrategy.class, Strategies.byName("akka"));
+    }
+
+    @Test
+    void buildsTheSameIndexAsSequential() throws Exception {
+        GeneratedSource source = new GeneratedSource(2_000);
+        RegexExtractor extractor = new RegexExtractor();
+        HierarchyIndex expected = Indexer.index(source, extractor, new SequentialStrategy(), 1);
+
+        assertEquals(expected.asMap(), Indexer.index(source, extractor, new AkkaStrategy(), 4).asMap());
+    }
+
+    @Test
+    void everyRegisteredStrategyFailsWhenExtractorThrows() {
+        Extractor throwing = new Extractor() {
+            @Override
+            public boolean accepts(String name) {
+                return true;
+            }
+
+            @Override
+            public void extract(byte[] content, HierarchyIndex into) {
+                throw new IllegalStateException("сломался разборщик");
+            }
+        };
+
+        // В classpath этого модуля ServiceLoader видит и akka, и стратегии из indexer-core
+        assertTrue(Strategies.names().contains("akka"));
+        for (String name : Strategies.names()) {
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                RuntimeException e = assertThrows(RuntimeException.class,
+                        () -> Indexer.index(new GeneratedSource(500), throwing, Strategies.byName(name), 2), name);
+                assertTrue(hasCause(e, IllegalStateException.class), name + ": " + e);
+            }, name);
+        }
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (type.isInstance(t)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package indexer;
+
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * Результат индексации: родитель (суперкласс или интерфейс) -> множество наследников.
+ * Не потокобезопасен: каждый поток заполняет свой частичный индекс, а стратегия сливает их через {@link #merge}.
+ */
+public class HierarchyIndex {
+    private final Map<String, Set<String>> classes = new HashMap<>();
+
+    public void add(String parent, String child) {
+        classes.computeIfAbsent(parent, k -> new HashSet<>()).add(child);
+    }
+
+    public void merge(HierarchyIndex other) {
+        for (Map.Entry<String, Set<String>> e : other.classes.entrySet()) {
+            classes.computeIfAbsent(e.getKey(), k -> new HashSet<>()).addAll(e.getValue());
+        }
+    }
+
+    public Map<String, Set<String>> asMap() {
+        return Collections.unmodifiableMap(classes);
+    }
+
+    public int size() {
+        return classes.size();
+    }
+
+    public long totalImplementations() {
+        return classes.values().stream()
+                .mapToInt(Set::size)
+                .sum();
+    }
+
+    public void print(PrintStream out) {
+        classes.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> out.println(e.getKey() + " -> " + e.getValue() + " size -> " + e.getValue().size()));
+        out.println("Всего реализаций: " + totalImplementations());
+    }
+}
@@ -0,0 +1,139 @@
+package indexer;
+
+import indexer.exec.ExecutionConfig;
+import indexer.exec.ExecutionStrategy;
+import indexer.exec.Strategies;
+import indexer.extract.BytecodeExtractor;
+import indexer.extract.Extractor;
+import indexer.extract.RegexExtractor;
+import indexer.source.ArchiveSource;
+import indexer.source.DirectorySource;
+import indexer.source.GeneratedSource;
+import indexer.source.SourceProvider;
+import indexer.source.SourceUnit;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Общий движок вместо копий Main из Lab2-Lab8: источник, разборщик и стратегия выбираются из командной строки.
+ *
+ * <pre>
+ * java -jar indexer-core.jar [--source dir:PATH|archive:PATH|generated:N] [--extractor regex|bytecode]
+ *                            [--strategy NAME[,NAME...]] [--threads N]
+ *                            [--read-threads N] [--extract-threads N] [--buffer N] [--quiet]
+ * </pre>
+ *
+ * Несколько стратегий через запятую прогоняются по очереди на одном и том же входе, для каждой печатается время.
+ * --read-threads, --extract-threads (по умолчанию равны --threads) и --buffer настраивают стадии стратегии flow.
+ */
+public class Indexer {
+    private static final String USAGE = "Использование: [--source dir:PATH|archive:PATH|generated:N]"
+            + " [--extractor regex|bytecode] [--strategy NAME[,NAME...]] [--threads N]"
+            + " [--read-threads N] [--extract-threads N] [--buffer N] [--quiet]";
+
+    public static HierarchyIndex index(SourceProvider source, Extractor extractor, ExecutionStrategy strategy,
+                                       ExecutionConfig config) throws IOException, InterruptedException {
+        try (Stream<SourceUnit> units = source.units(extractor::accepts)) {
+            return strategy.run(units, extractor, config);
+        }
+    }
+
+    public static HierarchyIndex index(SourceProvider source, Extractor extractor, ExecutionStrategy strategy,
+                                       int threads) throws IOException, InterruptedException {
+        return index(source, extractor, strategy, ExecutionConfig.of(threads));
+    }
+
+    public static SourceProvider source(String spec) {
+        int colon = spec.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Источник задаётся как тип:значение, получено: " + spec);
+        }
+        String value = spec.substring(colon + 1);
+        return switch (spec.substring(0, colon)) {
+            case "dir" -> new DirectorySource(Paths.get(value));
+            case "archive" -> new ArchiveSource(Paths.get(value));
+            case "generated" -> new GeneratedSource(Integer.parseInt(value));
+            default -> throw new IllegalArgumentException("Неизвестный источник: " + spec);
+        };
+    }
+
+    public static Extractor extractor(String name) {
+        return switch (name) {
+            case "regex" -> new RegexExtractor();
+            case "bytecode" -> new BytecodeExtractor();
+            default -> throw new IllegalArgumentException("Неизвестный разборщик: " + name);
+        };
+    }
+
+    /**
+     * Разбирает числовой параметр командной строки, который должен быть не меньше 1.
+     */
+    public static int positive(String option, String value) {
+        int n = Integer.parseInt(value);
+        if (n < 1) {
+            throw new IllegalArgumentException(option + " должен быть не меньше 1, получено: " + value);
+        }
+        return n;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String sourceSpec = "dir:spring-framework";
+        String extractorName = "regex";
+        String strategyNames = "pool";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int readThreads = 0;
+        int extractThreads = 0;
+        int buffer = ExecutionConfig.DEFAULT_BUFFER;
+        boolean quiet = false;
+
+        ExecutionConfig config;
+        SourceProvider source;
+        Extractor extractor;
+        List<ExecutionStrategy> strategies = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--source" -> sourceSpec = args[++i];
+                    case "--extractor" -> extractorName = args[++i];
+                    case "--strategy" -> strategyNames = args[++i];
+                    case "--threads" -> threads = positive("--threads", args[++i]);
+                    case "--read-threads" -> readThreads = positive("--read-threads", args[++i]);
+                    case "--extract-threads" -> extractThreads = positive("--extract-threads", args[++i]);
+                    case "--buffer" -> buffer = positive("--buffer", args[++i]);
+                    case "--quiet" -> quiet = true;
+                    default -> throw new IllegalArgumentException("Неизвестный аргумент: " + args[i]);
+                }
+            }
+            config = new ExecutionConfig(threads, readThreads > 0 ? readThreads : threads,
+                    extractThreads > 0 ? extractThreads : threads, buffer);
+            source = source(sourceSpec);
+            extractor = extractor(extractorName);
+            for (String name : strategyNames.split(",")) {
+                strategies.add(Strategies.byName(name.trim()));
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.err.println("Стратегии: " + Strategies.names());
+            System.exit(2);
+            return;
+        }
+
+        HierarchyIndex index = null;
+        for (ExecutionStrategy strategy : strategies) {
+            long start = System.nanoTime();
+            index = index(source, extractor, strategy, config);
+            long end = System.nanoTime();
+            System.out.printf("%s: %.3f s, родителей %d, реализаций %d%n",
+                    strategy.name(), (end - start) / 1e9, index.size(), index.totalImplementations());
+        }
+
+        if (!quiet) {
+            index.print(System.out);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package indexer.exec;
+
+/**
+ * Настройки запуска стратегии. {@code threads} - общий параллелизм (пул, воркеры конвейера, мапперы),
+ * {@code readThreads}, {@code extractThreads} и {@code buffer} - параллелизм стадий и буфер между ними
+ * для стратегий со стадиями ({@link FlowStrategy}).
+ */
+public record ExecutionConfig(int threads, int readThreads, int extractThreads, int buffer) {
+    public static final int DEFAULT_BUFFER = 256;
+
+    public ExecutionConfig {
+        if (threads < 1 || readThreads < 1 || extractThreads < 1 || buffer < 1) {
+            throw new IllegalArgumentException("Параметры запуска должны быть не меньше 1: " + threads + ", "
+                    + readThreads + ", " + extractThreads + ", " + buffer);
+        }
+    }
+
+    /**
+     * Все стадии получают по {@code threads} потоков, буфер по умолчанию.
+     */
+    public static ExecutionConfig of(int threads) {
+        return new ExecutionConfig(threads, threads, threads, DEFAULT_BUFFER);
+    }
+}
@@ -0,0 +1,21 @@
+package indexer.exec;
+
+import indexer.HierarchyIndex;
+import indexer.extract.Extractor;
+import indexer.source.SourceUnit;
+
+import java.util.stream.Stream;
+
+/**
+ * Способ распараллелить чтение и разбор файлов. Реализации находятся через {@link java.util.ServiceLoader},
+ * поэтому стратегии из других модулей (например, indexer-akka) подключаются простым добавлением в classpath.
+ */
+public interface ExecutionStrategy {
+
+    /**
+     * Имя для командной строки.
+     */
+    String name();
+
+    HierarchyIndex run(Stream<SourceUnit> units, Extractor extractor, ExecutionConfig config) throws InterruptedException;
+}
@@ -0,0 +1,38 @@
+package indexer.exec;
+
+import indexer.HierarchyIndex;
+import indexer.extract.Extractor;
+import indexer.source.SourceUnit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Схема из Lab5: задача на файл, каждая собирает частичный индекс, главный поток сливает результаты Future.
+ */
+abstract class ExecutorStrategy implements ExecutionStrategy {
+
+    protected abstract ExecutorService newExecutor(int parallelism);
+
+    @Override
+    public HierarchyIndex run(Stream<SourceUnit> units, Extractor extractor, ExecutionConfig config) throws InterruptedException {
+        HierarchyIndex index = new HierarchyIndex();
+        try (ExecutorService executor = newExecutor(config.threads())) {
+            List<Future<HierarchyIndex>> futures = new ArrayList<>();
+            units.forEach(unit -> futures.add(executor.submit(() -> extractor.scan(unit))));
+
+            for (Future<HierarchyIndex> future : futures) {
+                try {
+                    index.merge(future.get());
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        return index;
+    }
+}
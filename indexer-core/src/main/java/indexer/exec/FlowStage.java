@@ -0,0 +1,70 @@
+package indexer.exec;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Одна стадия {@link FlowStrategy}: берёт элементы сверху, обрабатывает до {@code parallelism} штук одновременно
+ * и публикует результаты вниз. Сверху запрашивается ровно столько, сколько есть свободных обработчиков,
+ * а {@link #submit} блокируется, пока нижняя стадия не освободит место в буфере.
+ * Функция может вернуть null, тогда элемент просто отбрасывается.
+ */
+class FlowStage<T, R> extends SubmissionPublisher<R> implements Flow.Processor<T, R> {
+    private final Function<T, R> function;
+    private final Executor workers;
+    private final int parallelism;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean upstreamDone;
+    private Flow.Subscription subscription;
+
+    FlowStage(Function<T, R> function, Executor workers, int parallelism, Executor delivery, int buffer) {
+        super(delivery, buffer);
+        this.function = function;
+        this.workers = workers;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(parallelism);
+    }
+
+    @Override
+    public void onNext(T item) {
+        inFlight.incrementAndGet();
+        workers.execute(() -> {
+            try {
+                R result = function.apply(item);
+                if (result != null) {
+                    submit(result);
+                }
+            } catch (Throwable e) {
+                subscription.cancel();
+                closeExceptionally(e);
+                return;
+            }
+            subscription.request(1);
+            if (inFlight.decrementAndGet() == 0 && upstreamDone) {
+                close();
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        // Задачи могут ещё выполняться: тогда закроет стадию последняя из них
+        if (inFlight.get() == 0) {
+            close();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package indexer.exec;
+
+import indexer.HierarchyIndex;
+import indexer.extract.Extractor;
+import indexer.source.SourceUnit;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Реактивный конвейер на {@link java.util.concurrent.Flow}: обход -> чтение -> разбор -> слияние.
+ * Между стадиями ограниченный спрос вместо очередей фиксированной ёмкости и пилюль из Lab6:
+ * медленная стадия сама притормаживает предыдущие, а завершение идёт сигналом onComplete.
+ *
+ * <p>Параллелизм стадий берётся из {@link ExecutionConfig#readThreads()} и {@link ExecutionConfig#extractThreads()}
+ * (--read-threads и --extract-threads), размер буфера между стадиями - из {@link ExecutionConfig#buffer()} (--buffer).
+ */
+public class FlowStrategy implements ExecutionStrategy {
+
+    private record Loaded(String name, byte[] content) {
+    }
+
+    @Override
+    public String name() {
+        return "flow";
+    }
+
+    @Override
+    public HierarchyIndex run(Stream<SourceUnit> units, Extractor extractor, ExecutionConfig config) throws InterruptedException {
+        int readParallelism = config.readThreads();
+        int extractParallelism = config.extractThreads();
+        int buffer = config.buffer();
+
+        ExecutorService delivery = Executors.newCachedThreadPool();
+        ExecutorService readers = Executors.newFixedThreadPool(readParallelism);
+        ExecutorService extractors = Executors.newFixedThreadPool(extractParallelism);
+        // Обход закрывается вручную: close() при успехе и closeExceptionally() при ошибке, try-with-resources тут не нужен
+        SubmissionPublisher<SourceUnit> walk = new SubmissionPublisher<>(delivery, buffer);
+        try {
+            FlowStage<SourceUnit, Loaded> read = new FlowStage<>(unit -> {
+                try {
+                    return new Loaded(unit.name(), unit.read());
+                } catch (IOException e) {
+                    System.err.println("Ошибка чтения файла " + unit.name() + ": " + e.getMessage());
+                    return null;
+                }
+            }, readers, readParallelism, delivery, buffer);
+
+            FlowStage<Loaded, HierarchyIndex> extract = new FlowStage<>(loaded -> {
+                HierarchyIndex partial = new HierarchyIndex();
+                try {
+                    extractor.extract(loaded.content(), partial);
+                } catch (IOException e) {
+                    System.err.println("Ошибка чтения файла " + loaded.name() + ": " + e.getMessage());
+                }
+                return partial;
+            }, extractors, extractParallelism, delivery, buffer);
+
+            HierarchyIndex globalIndex = new HierarchyIndex();
+            CompletableFuture<Void> reduce = extract.consume(globalIndex::merge);
+
+            walk.subscribe(read);
+            read.subscribe(extract);
+
+            try {
+                // submit блокируется, когда стадия чтения не успевает, так что обход не убегает вперёд.
+                // Если конвейер ниже уже упал, обход и чтение дальше не идут
+                Iterator<SourceUnit> it = units.iterator();
+                while (!reduce.isDone() && it.hasNext()) {
+                    walk.submit(it.next());
+                }
+            } catch (RuntimeException e) {
+                walk.closeExceptionally(e);
+                throw e;
+            }
+            if (reduce.state() == Future.State.FAILED) {
+                walk.closeExceptionally(reduce.exceptionNow());
+            } else {
+                walk.close();
+            }
+
+            reduce.get();
+            return globalIndex;
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            readers.shutdownNow();
+            extractors.shutdownNow();
+            delivery.shutdownNow();
+        }
+    }
+}
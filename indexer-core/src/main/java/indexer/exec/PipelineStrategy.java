@@ -0,0 +1,104 @@
+package indexer.exec;
+
+import indexer.HierarchyIndex;
+import indexer.extract.Extractor;
+import indexer.source.SourceUnit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Конвейер из Lab6: обход -> очередь задач -> воркеры -> очередь результатов -> collector.
+ * В отличие от Lab6 обход идёт одновременно с разбором, а не собирается в список заранее.
+ */
+public class PipelineStrategy implements ExecutionStrategy {
+    private static final int QUEUE_CAPACITY = 200;
+    private static final SourceUnit POISON_PILL = SourceUnit.of("POISON_PILL", new byte[0]);
+    private static final HierarchyIndex COLLECTOR_PILL = new HierarchyIndex();
+
+    @Override
+    public String name() {
+        return "pipeline";
+    }
+
+    @Override
+    public HierarchyIndex run(Stream<SourceUnit> units, Extractor extractor, ExecutionConfig config) throws InterruptedException {
+        int parallelism = config.threads();
+        BlockingQueue<SourceUnit> taskQueue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        BlockingQueue<HierarchyIndex> resultQueue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        HierarchyIndex globalIndex = new HierarchyIndex();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread collector = new Thread(() -> {
+            try {
+                while (true) {
+                    HierarchyIndex partial = resultQueue.take();
+                    if (partial == COLLECTOR_PILL) {
+                        break;
+                    }
+                    globalIndex.merge(partial);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "collector");
+        collector.start();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    while (true) {
+                        SourceUnit unit = taskQueue.take();
+                        if (unit == POISON_PILL) {
+                            break;
+                        }
+                        // После первой ошибки воркер только вычерпывает очередь до пилюли, иначе обход
+                        // заблокировался бы на put в заполненную очередь
+                        if (failure.get() != null) {
+                            continue;
+                        }
+                        try {
+                            resultQueue.put(extractor.scan(unit));
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Throwable e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "worker-" + i);
+            t.start();
+            workers.add(t);
+        }
+
+        try {
+            for (SourceUnit unit : (Iterable<SourceUnit>) units::iterator) {
+                if (failure.get() != null) {
+                    break;
+                }
+                taskQueue.put(unit);
+            }
+        } finally {
+            // Пилюли отправляются и при ошибке обхода, иначе воркеры и collector остались бы висеть
+            for (int i = 0; i < parallelism; i++) {
+                taskQueue.put(POISON_PILL);
+            }
+            for (Thread t : workers) {
+                t.join();
+            }
+            resultQueue.put(COLLECTOR_PILL);
+            collector.join();
+        }
+        if (failure.get() != null) {
+            throw new RuntimeException(failure.get());
+        }
+        return globalIndex;
+    }
+}
@@ -0,0 +1,20 @@
+package indexer.exec;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Фиксированный пул платформенных потоков (Lab5, но с разумным числом потоков вместо 1000).
+ */
+public class PoolStrategy extends ExecutorStrategy {
+
+    @Override
+    public String name() {
+        return "pool";
+    }
+
+    @Override
+    protected ExecutorService newExecutor(int parallelism) {
+        return Executors.newFixedThreadPool(parallelism);
+    }
+}
@@ -0,0 +1,25 @@
+package indexer.exec;
+
+import indexer.HierarchyIndex;
+import indexer.extract.Extractor;
+import indexer.source.SourceUnit;
+
+import java.util.stream.Stream;
+
+/**
+ * Однопоточный обход, как в Lab2. Базовая линия для сравнения остальных стратегий.
+ */
+public class SequentialStrategy implements ExecutionStrategy {
+
+    @Override
+    public String name() {
+        return "sequential";
+    }
+
+    @Override
+    public HierarchyIndex run(Stream<SourceUnit> units, Extractor extractor, ExecutionConfig config) {
+        HierarchyIndex index = new HierarchyIndex();
+        units.forEach(unit -> extractor.scan(unit, index));
+        return index;
+    }
+}
@@ -0,0 +1,31 @@
+package indexer.exec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Реестр стратегий, доступных в текущем classpath.
+ */
+public final class Strategies {
+
+    private Strategies() {
+    }
+
+    public static ExecutionStrategy byName(String name) {
+        for (ExecutionStrategy strategy : ServiceLoader.load(ExecutionStrategy.class)) {
+            if (strategy.name().equals(name)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная стратегия: " + name + ", доступны: " + names());
+    }
+
+    public static List<String> names() {
+        List<String> names = new ArrayList<>();
+        for (ExecutionStrategy strategy : ServiceLoader.load(ExecutionStrategy.class)) {
+            names.add(strategy.name());
+        }
+        return names;
+    }
+}
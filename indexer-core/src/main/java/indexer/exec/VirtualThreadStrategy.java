@@ -0,0 +1,20 @@
+package indexer.exec;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Виртуальный поток на файл (Lab3/Lab4 без затрат на платформенные потоки). Параллелизм ограничивает сама JVM.
+ */
+public class VirtualThreadStrategy extends ExecutorStrategy {
+
+    @Override
+    public String name() {
+        return "virtual";
+    }
+
+    @Override
+    protected ExecutorService newExecutor(int parallelism) {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
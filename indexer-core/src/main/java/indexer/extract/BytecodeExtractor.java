@@ -0,0 +1,104 @@
+package indexer.extract;
+
+import indexer.HierarchyIndex;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Разбор class-файлов: потоком проходит constant pool, читает this_class, super_class и interfaces
+ * и на этом останавливается - поля, методы и атрибуты не читаются с диска вовсе.
+ * Строки Utf8 декодируются лишь для тех индексов, на которые они ссылаются.
+ */
+public class BytecodeExtractor implements Extractor {
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+    private static final int ACC_MODULE = 0x8000;
+    private static final String OBJECT = "java.lang.Object";
+    private static final int TAG_UTF8 = 1;
+    private static final int TAG_CLASS = 7;
+
+    @Override
+    public boolean accepts(String name) {
+        return name.endsWith(".class");
+    }
+
+    @Override
+    public void extract(byte[] content, HierarchyIndex into) throws IOException {
+        parse(new DataInputStream(new ByteArrayInputStream(content)), into);
+    }
+
+    @Override
+    public void extract(InputStream in, HierarchyIndex into) throws IOException {
+        parse(new DataInputStream(new BufferedInputStream(in)), into);
+    }
+
+    private static void parse(DataInputStream in, HierarchyIndex into) throws IOException {
+        if (in.readInt() != CLASS_MAGIC) {
+            throw new IOException("не является class-файлом");
+        }
+        in.skipNBytes(4); // minor_version, major_version
+
+        int poolSize = in.readUnsignedShort();
+        byte[] tags = new byte[poolSize];
+        byte[][] utf8 = new byte[poolSize][];
+        int[] classNames = new int[poolSize];
+        for (int i = 1; i < poolSize; i++) {
+            int tag = in.readUnsignedByte();
+            tags[i] = (byte) tag;
+            switch (tag) {
+                case TAG_UTF8 -> {
+                    utf8[i] = new byte[in.readUnsignedShort()];
+                    in.readFully(utf8[i]);
+                }
+                case TAG_CLASS -> classNames[i] = in.readUnsignedShort();
+                case 8, 16, 19, 20 -> in.skipNBytes(2);
+                case 15 -> in.skipNBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipNBytes(4);
+                case 5, 6 -> {
+                    in.skipNBytes(8);
+                    i++; // long и double занимают два слота
+                }
+                default -> throw new IOException("неизвестный тег constant pool: " + tag);
+            }
+        }
+
+        int access = in.readUnsignedShort();
+        if ((access & ACC_MODULE) != 0) {
+            return;
+        }
+
+        String className = className(tags, utf8, classNames, in.readUnsignedShort());
+        int superIndex = in.readUnsignedShort();
+        if (superIndex != 0) {
+            String superName = className(tags, utf8, classNames, superIndex);
+            if (!OBJECT.equals(superName)) {
+                into.add(superName, className);
+            }
+        }
+
+        int interfacesCount = in.readUnsignedShort();
+        for (int i = 0; i < interfacesCount; i++) {
+            into.add(className(tags, utf8, classNames, in.readUnsignedShort()), className);
+        }
+    }
+
+    private static String className(byte[] tags, byte[][] utf8, int[] classNames, int classIndex) throws IOException {
+        if (classIndex <= 0 || classIndex >= tags.length || tags[classIndex] != TAG_CLASS) {
+            throw new IOException("ссылка на класс не указывает на CONSTANT_Class: " + classIndex);
+        }
+        int nameIndex = classNames[classIndex];
+        if (nameIndex <= 0 || nameIndex >= tags.length || tags[nameIndex] != TAG_UTF8) {
+            throw new IOException("имя класса не указывает на CONSTANT_Utf8: " + nameIndex);
+        }
+        // Constant pool хранит modified UTF-8, его умеет декодировать только readUTF, которому нужна длина впереди
+        byte[] raw = utf8[nameIndex];
+        byte[] prefixed = new byte[raw.length + 2];
+        prefixed[0] = (byte) (raw.length >>> 8);
+        prefixed[1] = (byte) raw.length;
+        System.arraycopy(raw, 0, prefixed, 2, raw.length);
+        return new DataInputStream(new ByteArrayInputStream(prefixed)).readUTF().replace('/', '.');
+    }
+}
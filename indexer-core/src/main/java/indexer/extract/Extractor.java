@@ -0,0 +1,43 @@
+package indexer.extract;
+
+import indexer.HierarchyIndex;
+import indexer.source.SourceUnit;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Извлекает пары "родитель -> наследник" из содержимого одного файла.
+ * Реализации не хранят состояние между вызовами и могут использоваться из нескольких потоков.
+ */
+public interface Extractor {
+
+    boolean accepts(String name);
+
+    void extract(byte[] content, HierarchyIndex into) throws IOException;
+
+    /**
+     * Разбор из потока. По умолчанию читает файл целиком; разборщики, которым нужно только начало файла,
+     * переопределяют метод и перестают читать, как только нашли всё нужное.
+     */
+    default void extract(InputStream in, HierarchyIndex into) throws IOException {
+        extract(in.readAllBytes(), into);
+    }
+
+    /**
+     * Чтение и разбор одного файла. Ошибки не пробрасываются: файл пропускается, как и в лабораторных.
+     */
+    default void scan(SourceUnit unit, HierarchyIndex into) {
+        try (InputStream in = unit.open()) {
+            extract(in, into);
+        } catch (IOException e) {
+            System.err.println("Ошибка чтения файла " + unit.name() + ": " + e.getMessage());
+        }
+    }
+
+    default HierarchyIndex scan(SourceUnit unit) {
+        HierarchyIndex partial = new HierarchyIndex();
+        scan(unit, partial);
+        return partial;
+    }
+}
@@ -0,0 +1,51 @@
+package indexer.extract;
+
+import indexer.HierarchyIndex;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Разбор исходников тем же регулярным выражением, что и в Lab2-Lab8.
+ * Шаблоны компилируются один раз, список implements всегда разбивается по запятым.
+ */
+public class RegexExtractor implements Extractor {
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("(?s)/\\*.*?\\*/");
+    private static final Pattern LINE_COMMENT = Pattern.compile("(?m)//.*?$");
+    private static final Pattern DECLARATION = Pattern.compile(
+            "\\b(class|interface)\\b\\s+(\\w+)" +
+                    "(?:\\b\\s+extends\\s+([\\w\\.]+))?" +
+                    "(?:\\b\\s+implements\\s+([\\w\\.,\\s]+))?");
+
+    @Override
+    public boolean accepts(String name) {
+        return name.endsWith(".java");
+    }
+
+    @Override
+    public void extract(byte[] content, HierarchyIndex into) {
+        String code = new String(content, StandardCharsets.UTF_8);
+        code = BLOCK_COMMENT.matcher(code).replaceAll("");
+        code = LINE_COMMENT.matcher(code).replaceAll("");
+
+        Matcher m = DECLARATION.matcher(code);
+        while (m.find()) {
+            String className = m.group(2);
+            String extendsPart = m.group(3);
+            String implementsPart = m.group(4);
+
+            if (extendsPart != null) {
+                into.add(extendsPart, className);
+            }
+            if (implementsPart != null) {
+                for (String iface : implementsPart.split(",")) {
+                    String trimmed = iface.trim();
+                    if (!trimmed.isEmpty()) {
+                        into.add(trimmed, className);
+                    }
+                }
+            }
+        }
+    }
+}
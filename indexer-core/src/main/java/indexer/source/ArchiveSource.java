@@ -0,0 +1,69 @@
+package indexer.source;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Записи .jar/.zip архива. Записи распаковываются лениво, в том потоке, который их читает,
+ * поэтому архив должен оставаться открытым, пока не закрыт поток записей.
+ */
+public class ArchiveSource implements SourceProvider {
+    private final Path archive;
+
+    public ArchiveSource(Path archive) {
+        this.archive = archive;
+    }
+
+    static boolean isArchive(String name) {
+        return name.endsWith(".jar") || name.endsWith(".zip");
+    }
+
+    @Override
+    public Stream<SourceUnit> units(Predicate<String> accept) throws IOException {
+        ZipFile zip = new ZipFile(archive.toFile());
+        return entries(archive, zip, accept).onClose(() -> {
+            try {
+                zip.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Записи уже открытого архива. Закрывать архив - забота вызывающего.
+     */
+    static Stream<SourceUnit> entries(Path archive, ZipFile zip, Predicate<String> accept) {
+        return zip.stream()
+                .filter(entry -> !entry.isDirectory() && accept.test(entry.getName()))
+                .map(entry -> entry(archive + "!" + entry.getName(), zip, entry));
+    }
+
+    private static SourceUnit entry(String name, ZipFile zip, ZipEntry entry) {
+        return new SourceUnit() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public byte[] read() throws IOException {
+                try (InputStream in = open()) {
+                    return in.readAllBytes();
+                }
+            }
+
+            @Override
+            public InputStream open() throws IOException {
+                // Ошибка битой записи всплывает здесь и пропускает только её, а не весь архив
+                return zip.getInputStream(entry);
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package indexer.source;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+/**
+ * Рекурсивный обход каталога. Встреченные .jar/.zip раскрываются через {@link ArchiveSource}.
+ */
+public class DirectorySource implements SourceProvider {
+    private final Path root;
+
+    public DirectorySource(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public Stream<SourceUnit> units(Predicate<String> accept) throws IOException {
+        // Записи архивов читаются на рабочих потоках уже после того, как flatMap ушёл дальше,
+        // поэтому архивы закрываются вместе со всем обходом, а не вместе с вложенным потоком
+        Queue<ZipFile> opened = new ConcurrentLinkedQueue<>();
+        return Files.walk(root)
+                .filter(Files::isRegularFile)
+                .flatMap(path -> {
+                    String name = path.toString();
+                    if (ArchiveSource.isArchive(name)) {
+                        try {
+                            ZipFile zip = new ZipFile(path.toFile());
+                            opened.add(zip);
+                            return ArchiveSource.entries(path, zip, accept);
+                        } catch (IOException e) {
+                            // Битый архив пропускается, как и любой другой нечитаемый файл
+                            System.err.println("Ошибка чтения файла " + name + ": " + e.getMessage());
+                            return Stream.empty();
+                        }
+                    }
+                    return accept.test(name) ? Stream.of(file(path)) : Stream.empty();
+                })
+                .onClose(() -> closeAll(opened));
+    }
+
+    private static void closeAll(Queue<ZipFile> opened) {
+        IOException failure = null;
+        for (ZipFile zip; (zip = opened.poll()) != null; ) {
+            try {
+                zip.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    static SourceUnit file(Path path) {
+        return new SourceUnit() {
+            @Override
+            public String name() {
+                return path.toString();
+            }
+
+            @Override
+            public byte[] read() throws IOException {
+                return Files.readAllBytes(path);
+            }
+
+            @Override
+            public InputStream open() throws IOException {
+                return Files.newInputStream(path);
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package indexer.source;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Синтетический корпус .java файлов для замеров без настоящего репозитория.
+ * Текст файла строится при чтении, детерминированно по номеру файла.
+ */
+public class GeneratedSource implements SourceProvider {
+    private static final int INTERFACES = 50;
+
+    private final int files;
+
+    public GeneratedSource(int files) {
+        this.files = files;
+    }
+
+    @Override
+    public Stream<SourceUnit> units(Predicate<String> accept) {
+        return IntStream.range(0, files)
+                .mapToObj(i -> unit("gen/C" + i + ".java", i))
+                .filter(unit -> accept.test(unit.name()));
+    }
+
+    private static SourceUnit unit(String name, int i) {
+        return new SourceUnit() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public byte[] read() {
+                return generate(i).getBytes(StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    static String generate(int i) {
+        Random random = new Random(i);
+        StringBuilder code = new StringBuilder();
+        code.append("package gen;\n\n");
+        code.append("/**\n * Сгенерированный класс, class Fake extends Nothing в комментарии не считается.\n */\n");
+        code.append("public class C").append(i);
+        if (i > 0) {
+            code.append(" extends C").append(random.nextInt(i));
+        }
+        int count = random.nextInt(4);
+        for (int k = 0; k < count; k++) {
+            code.append(k == 0 ? " implements " : ", ").append('I').append(random.nextInt(INTERFACES));
+        }
+        code.append(" {\n");
+        for (int k = 0; k < 20; k++) {
+            code.append("    // поле ").append(k).append(" implements ничего\n");
+            code.append("    private int field").append(k).append(" = ").append(random.nextInt()).append(";\n");
+        }
+        code.append("}\n");
+        return code.toString();
+    }
+}
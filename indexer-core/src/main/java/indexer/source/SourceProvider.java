@@ -0,0 +1,14 @@
+package indexer.source;
+
+import java.io.IOException;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Откуда берутся файлы для индексации. Возвращаемый поток нужно закрыть после обработки,
+ * до этого момента {@link SourceUnit#read()} должен оставаться рабочим.
+ */
+public interface SourceProvider {
+
+    Stream<SourceUnit> units(Predicate<String> accept) throws IOException;
+}
@@ -0,0 +1,37 @@
+package indexer.source;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Один входной файл: исходник, class-файл или запись архива. Содержимое читается лениво.
+ */
+public interface SourceUnit {
+
+    String name();
+
+    byte[] read() throws IOException;
+
+    /**
+     * Поток с содержимым, чтобы разборщик мог прочитать только начало файла.
+     * По умолчанию - поверх {@link #read()}, источники с настоящими файлами открывают их напрямую.
+     */
+    default InputStream open() throws IOException {
+        return new ByteArrayInputStream(read());
+    }
+
+    static SourceUnit of(String name, byte[] content) {
+        return new SourceUnit() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public byte[] read() {
+                return content;
+            }
+        };
+    }
+}
@@ -0,0 +1,185 @@
+package indexer.exec;
+
+import indexer.HierarchyIndex;
+import indexer.Indexer;
+import indexer.extract.Extractor;
+import indexer.extract.RegexExtractor;
+import indexer.source.GeneratedSource;
+import indexer.source.SourceProvider;
+import indexer.source.SourceUnit;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowStrategyTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final RegexExtractor regex = new RegexExtractor();
+
+    private static HierarchyIndex sequential(SourceProvider source, Extractor extractor) throws Exception {
+        return Indexer.index(source, extractor, new SequentialStrategy(), 1);
+    }
+
+    private static HierarchyIndex flow(SourceProvider source, Extractor extractor, ExecutionConfig config) {
+        return assertTimeoutPreemptively(TIMEOUT, () -> Indexer.index(source, extractor, new FlowStrategy(), config));
+    }
+
+    @Test
+    void singleSlotBufferAndSingleReader() throws Exception {
+        GeneratedSource source = new GeneratedSource(1_000);
+
+        assertEquals(sequential(source, regex).asMap(),
+                flow(source, regex, new ExecutionConfig(1, 1, 1, 1)).asMap());
+        assertEquals(sequential(source, regex).asMap(),
+                flow(source, regex, new ExecutionConfig(1, 1, 4, 1)).asMap());
+    }
+
+    @Test
+    void emptySourceCompletes() {
+        assertEquals(0, flow(new GeneratedSource(0), regex, new ExecutionConfig(1, 1, 1, 1)).size());
+    }
+
+    @Test
+    void unreadableAndUnparsableFilesAreSkipped() {
+        SourceProvider source = accept -> Stream.of(
+                SourceUnit.of("A.java", "class A implements Runnable {}".getBytes(StandardCharsets.UTF_8)),
+                new SourceUnit() {
+                    @Override
+                    public String name() {
+                        return "Broken.java";
+                    }
+
+                    @Override
+                    public byte[] read() throws IOException {
+                        throw new IOException("нет доступа");
+                    }
+                },
+                SourceUnit.of("B.java", "class B implements Runnable {}".getBytes(StandardCharsets.UTF_8)),
+                SourceUnit.of("Bad.java", "class Bad extends Nothing {}".getBytes(StandardCharsets.UTF_8)));
+        Extractor failsOnBad = new Extractor() {
+            @Override
+            public boolean accepts(String name) {
+                return true;
+            }
+
+            @Override
+            public void extract(byte[] content, HierarchyIndex into) throws IOException {
+                if (new String(content, StandardCharsets.UTF_8).contains("Bad")) {
+                    throw new IOException("не разобрать");
+                }
+                regex.extract(content, into);
+            }
+        };
+
+        assertEquals(Map.of("Runnable", Set.of("A", "B")),
+                flow(source, failsOnBad, new ExecutionConfig(1, 1, 2, 1)).asMap());
+    }
+
+    @Test
+    void extractorFailureFailsTheRunInsteadOfHanging() {
+        Extractor throwing = new Extractor() {
+            @Override
+            public boolean accepts(String name) {
+                return true;
+            }
+
+            @Override
+            public void extract(byte[] content, HierarchyIndex into) {
+                throw new IllegalStateException("сломался разборщик");
+            }
+        };
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> flow(new GeneratedSource(500), throwing, new ExecutionConfig(1, 1, 2, 1)));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void extractorFailureStopsTheWalk() {
+        Extractor throwing = new Extractor() {
+            @Override
+            public boolean accepts(String name) {
+                return true;
+            }
+
+            @Override
+            public void extract(byte[] content, HierarchyIndex into) {
+                throw new IllegalStateException("сломался разборщик");
+            }
+        };
+        int total = 20_000;
+        AtomicInteger walked = new AtomicInteger();
+        SourceProvider source = accept -> new GeneratedSource(total).units(accept).peek(unit -> walked.incrementAndGet());
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> flow(source, throwing, new ExecutionConfig(1, 1, 2, 1)));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertTrue(walked.get() < total / 10, "обойдено " + walked.get() + " из " + total);
+    }
+
+    @Test
+    void stageClosesOnlyAfterLastInFlightItem() {
+        ExecutorService delivery = Executors.newCachedThreadPool();
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            // Каждый элемент обрабатывается дольше, чем приходит onComplete, так что закрывать должна последняя задача
+            FlowStage<Integer, Integer> slow = new FlowStage<>(i -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return i % 3 == 0 ? null : i;
+            }, workers, 4, delivery, 1);
+            ConcurrentLinkedQueue<Integer> received = new ConcurrentLinkedQueue<>();
+            CompletableFuture<Void> done = slow.consume(received::add);
+
+            try (SubmissionPublisher<Integer> source = new SubmissionPublisher<>(delivery, 1)) {
+                source.subscribe(slow);
+                IntStream.range(0, 40).forEach(source::submit);
+            }
+
+            assertTimeoutPreemptively(TIMEOUT, () -> done.get());
+            List<Integer> expected = IntStream.range(0, 40).filter(i -> i % 3 != 0).boxed().toList();
+            assertEquals(Set.copyOf(expected), Set.copyOf(received));
+            assertEquals(expected.size(), received.size());
+        } finally {
+            workers.shutdownNow();
+            delivery.shutdownNow();
+        }
+    }
+
+    @Test
+    void upstreamErrorPropagatesDownstream() {
+        ExecutorService delivery = Executors.newCachedThreadPool();
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            FlowStage<Integer, Integer> stage = new FlowStage<>(i -> i, workers, 2, delivery, 1);
+            CompletableFuture<Void> done = stage.consume(i -> {
+            });
+
+            SubmissionPublisher<Integer> source = new SubmissionPublisher<>(delivery, 1);
+            source.subscribe(stage);
+            source.submit(1);
+            source.closeExceptionally(new IOException("обход упал"));
+
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> assertTimeoutPreemptively(TIMEOUT, () -> done.get()));
+            assertEquals("обход упал", e.getCause().getMessage());
+        } finally {
+            workers.shutdownNow();
+            delivery.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package indexer.exec;
+
+import indexer.HierarchyIndex;
+import indexer.Indexer;
+import indexer.extract.Extractor;
+import indexer.extract.RegexExtractor;
+import indexer.source.GeneratedSource;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StrategiesTest {
+
+    @Test
+    void everyStrategyBuildsTheSameIndex() throws Exception {
+        GeneratedSource source = new GeneratedSource(2_000);
+        RegexExtractor extractor = new RegexExtractor();
+        HierarchyIndex expected = Indexer.index(source, extractor, new SequentialStrategy(), 1);
+        assertTrue(expected.size() > 0);
+
+        for (String name : Strategies.names()) {
+            HierarchyIndex actual = Indexer.index(source, extractor, Strategies.byName(name), 4);
+            assertEquals(expected.asMap(), actual.asMap(), name);
+        }
+    }
+
+    @Test
+    void everyStrategyHandlesEmptySource() throws Exception {
+        for (String name : Strategies.names()) {
+            HierarchyIndex actual = Indexer.index(new GeneratedSource(0), new RegexExtractor(), Strategies.byName(name), 2);
+            assertEquals(0, actual.size(), name);
+        }
+    }
+
+    @Test
+    void everyStrategyFailsWhenExtractorThrows() {
+        Extractor throwing = new Extractor() {
+            @Override
+            public boolean accepts(String name) {
+                return true;
+            }
+
+            @Override
+            public void extract(byte[] content, HierarchyIndex into) {
+                throw new IllegalStateException("сломался разборщик");
+            }
+        };
+
+        for (String name : Strategies.names()) {
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                RuntimeException e = assertThrows(RuntimeException.class,
+                        () -> Indexer.index(new GeneratedSource(500), throwing, Strategies.byName(name), 2), name);
+                assertTrue(hasCause(e, IllegalStateException.class), name + ": " + e);
+            }, name);
+        }
+    }
+
+    static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (type.isInstance(t)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void unknownStrategyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Strategies.byName("nope"));
+    }
+}
@@ -0,0 +1,207 @@
+package indexer.extract;
+
+import indexer.HierarchyIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BytecodeExtractorTest {
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_MODULE = 0x8000;
+
+    private final BytecodeExtractor extractor = new BytecodeExtractor();
+
+    /**
+     * Минимальный class-файл: constant pool, флаги, this/super/interfaces и больше ничего.
+     */
+    private static class ClassFile {
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(pool);
+        private int next = 1;
+
+        int utf8(String value) throws IOException {
+            out.writeByte(1);
+            out.writeUTF(value);
+            return next++;
+        }
+
+        int classRef(String internalName) throws IOException {
+            int name = utf8(internalName);
+            out.writeByte(7);
+            out.writeShort(name);
+            return next++;
+        }
+
+        int longConstant(long value) throws IOException {
+            out.writeByte(5);
+            out.writeLong(value);
+            int index = next;
+            next += 2;
+            return index;
+        }
+
+        int doubleConstant(double value) throws IOException {
+            out.writeByte(6);
+            out.writeDouble(value);
+            int index = next;
+            next += 2;
+            return index;
+        }
+
+        byte[] build(int access, int thisClass, int superClass, int... interfaces) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream file = new DataOutputStream(bytes);
+            file.writeInt(0xCAFEBABE);
+            file.writeShort(0);
+            file.writeShort(61);
+            file.writeShort(next);
+            file.write(pool.toByteArray());
+            file.writeShort(access);
+            file.writeShort(thisClass);
+            file.writeShort(superClass);
+            file.writeShort(interfaces.length);
+            for (int iface : interfaces) {
+                file.writeShort(iface);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    private Map<String, Set<String>> extract(byte[] content) throws IOException {
+        HierarchyIndex index = new HierarchyIndex();
+        extractor.extract(content, index);
+        return index.asMap();
+    }
+
+    @Test
+    void readsSuperclassAndInterfacesOfRealClass() throws IOException {
+        byte[] content;
+        try (InputStream in = ClassLoader.getSystemResourceAsStream("java/util/ArrayList.class")) {
+            content = in.readAllBytes();
+        }
+
+        assertEquals(Map.of(
+                "java.util.AbstractList", Set.of("java.util.ArrayList"),
+                "java.util.List", Set.of("java.util.ArrayList"),
+                "java.util.RandomAccess", Set.of("java.util.ArrayList"),
+                "java.lang.Cloneable", Set.of("java.util.ArrayList"),
+                "java.io.Serializable", Set.of("java.util.ArrayList")), extract(content));
+    }
+
+    @Test
+    void longAndDoubleTakeTwoPoolSlots() throws IOException {
+        ClassFile cf = new ClassFile();
+        cf.longConstant(Long.MAX_VALUE);
+        int base = cf.classRef("p/Base");
+        cf.doubleConstant(Math.PI);
+        int impl = cf.classRef("p/Impl");
+        int iface = cf.classRef("p/Iface");
+
+        assertEquals(Map.of("p.Base", Set.of("p.Impl"), "p.Iface", Set.of("p.Impl")),
+                extract(cf.build(ACC_PUBLIC, impl, base, iface)));
+    }
+
+    @Test
+    void interfaceRecordsSuperInterfacesButNotObject() throws IOException {
+        ClassFile cf = new ClassFile();
+        int object = cf.classRef("java/lang/Object");
+        int child = cf.classRef("p/Child");
+        int first = cf.classRef("p/First");
+        int second = cf.classRef("p/Second");
+
+        assertEquals(Map.of("p.First", Set.of("p.Child"), "p.Second", Set.of("p.Child")),
+                extract(cf.build(ACC_PUBLIC | ACC_INTERFACE, child, object, first, second)));
+    }
+
+    @Test
+    void moduleInfoIsSkipped() throws IOException {
+        ClassFile cf = new ClassFile();
+        int module = cf.classRef("module-info");
+
+        assertTrue(extract(cf.build(ACC_MODULE, module, 0)).isEmpty());
+    }
+
+    @Test
+    void truncatedInputFailsWithIOException() throws IOException {
+        ClassFile cf = new ClassFile();
+        cf.longConstant(1);
+        int base = cf.classRef("p/Base");
+        int impl = cf.classRef("p/Impl");
+        int iface = cf.classRef("p/Iface");
+        byte[] full = cf.build(ACC_PUBLIC, impl, base, iface);
+
+        for (int length = 0; length < full.length; length++) {
+            byte[] truncated = Arrays.copyOf(full, length);
+            assertThrows(IOException.class, () -> extract(truncated), "длина " + length);
+        }
+    }
+
+    @Test
+    void brokenReferencesFailWithIOException() throws IOException {
+        ClassFile cf = new ClassFile();
+        int name = cf.utf8("p/NotAClass");
+        int impl = cf.classRef("p/Impl");
+
+        assertThrows(IOException.class, () -> extract(cf.build(ACC_PUBLIC, impl, 99)));
+        assertThrows(IOException.class, () -> extract(cf.build(ACC_PUBLIC, impl, name)));
+        assertThrows(IOException.class, () -> extract(cf.build(ACC_PUBLIC, impl, 0, 0)));
+    }
+
+    @Test
+    void streamStopsAfterInterfacesTable() throws IOException {
+        ClassFile cf = new ClassFile();
+        int base = cf.classRef("p/Base");
+        int impl = cf.classRef("p/Impl");
+        byte[] header = cf.build(ACC_PUBLIC, impl, base);
+        // Поля, методы и атрибуты разборщику не нужны - дочитывать их с диска нельзя
+        byte[] content = Arrays.copyOf(header, header.length + (1 << 20));
+        long[] consumed = new long[1];
+        InputStream counting = new FilterInputStream(new ByteArrayInputStream(content)) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    consumed[0]++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    consumed[0] += n;
+                }
+                return n;
+            }
+        };
+
+        HierarchyIndex index = new HierarchyIndex();
+        extractor.extract(counting, index);
+
+        assertEquals(Map.of("p.Base", Set.of("p.Impl")), index.asMap());
+        assertTrue(consumed[0] < 64 * 1024, "прочитано " + consumed[0] + " из " + content.length);
+    }
+
+    @Test
+    void rejectsNonClassContent() {
+        assertThrows(IOException.class, () -> extract("class A {}".getBytes()));
+    }
+
+    @Test
+    void acceptsOnlyClassFiles() {
+        assertTrue(extractor.accepts("a/b/C.class"));
+        assertFalse(extractor.accepts("a/b/C.java"));
+    }
+}
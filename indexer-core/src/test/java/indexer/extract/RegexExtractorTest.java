@@ -0,0 +1,66 @@
+package indexer.extract;
+
+import indexer.HierarchyIndex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegexExtractorTest {
+    private final RegexExtractor extractor = new RegexExtractor();
+
+    private Map<String, Set<String>> extract(String code) {
+        HierarchyIndex index = new HierarchyIndex();
+        extractor.extract(code.getBytes(StandardCharsets.UTF_8), index);
+        return index.asMap();
+    }
+
+    @Test
+    void splitsImplementsList() {
+        assertEquals(Map.of(
+                "Base", Set.of("A"),
+                "First", Set.of("A"),
+                "Second", Set.of("A"),
+                "Third", Set.of("A")), extract("public class A extends Base implements First, Second,Third {\n}"));
+    }
+
+    @Test
+    void keepsQualifiedNames() {
+        assertEquals(Map.of("java.util.AbstractList", Set.of("A"), "java.io.Serializable", Set.of("A")),
+                extract("class A extends java.util.AbstractList implements java.io.Serializable {}"));
+    }
+
+    @Test
+    void interfaceExtends() {
+        assertEquals(Map.of("Parent", Set.of("Child")), extract("interface Child extends Parent {}"));
+    }
+
+    @Test
+    void ignoresComments() {
+        String code = """
+                /* class Hidden extends Nothing */
+                // class Other implements Never
+                /**
+                 * class Doc implements Ghost
+                 */
+                class Real implements Visible {}
+                """;
+
+        assertEquals(Map.of("Visible", Set.of("Real")), extract(code));
+    }
+
+    @Test
+    void mergesSeveralDeclarationsInOneFile() {
+        assertEquals(Map.of("Runnable", Set.of("A", "B")),
+                extract("class A implements Runnable {}\nclass B implements Runnable {}"));
+    }
+
+    @Test
+    void acceptsOnlyJavaSources() {
+        assertTrue(extractor.accepts("src/A.java"));
+        assertFalse(extractor.accepts("src/A.class"));
+    }
+}
@@ -0,0 +1,79 @@
+package indexer.source;
+
+import indexer.HierarchyIndex;
+import indexer.Indexer;
+import indexer.exec.SequentialStrategy;
+import indexer.exec.Strategies;
+import indexer.extract.RegexExtractor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectorySourceTest {
+    @TempDir
+    Path root;
+
+    private void jar(String name, Map<String, String> entries) throws IOException {
+        try (OutputStream file = Files.newOutputStream(root.resolve(name));
+             ZipOutputStream zip = new ZipOutputStream(file)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+    }
+
+    @Test
+    void archiveEntriesAreInflatedByTheReadingThread() throws Exception {
+        jar("first.jar", Map.of("p/A.java", "class A extends Base {}"));
+        jar("second.jar", Map.of("p/B.java", "class B implements Api {}"));
+        Files.writeString(root.resolve("C.java"), "class C extends Base {}");
+
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try (Stream<SourceUnit> units = new DirectorySource(root).units(name -> name.endsWith(".java"))) {
+            // Обход уже прошёл мимо обоих архивов, а записи всё ещё читаются - на другом потоке
+            List<SourceUnit> all = units.toList();
+            assertEquals(3, all.size());
+            for (SourceUnit unit : all) {
+                Future<byte[]> content = worker.submit(unit::read);
+                assertTrue(new String(content.get(), StandardCharsets.UTF_8).startsWith("class "), unit.name());
+            }
+        } finally {
+            worker.shutdown();
+        }
+    }
+
+    @Test
+    void everyStrategyReadsArchivesInTheTree() throws Exception {
+        jar("first.jar", Map.of("p/A.java", "class A extends Base {}", "p/B.java", "class B implements Api {}"));
+        jar("second.jar", Map.of("q/C.java", "class C extends Base {}"));
+        Files.write(root.resolve("broken.jar"), new byte[] {1, 2, 3});
+        Files.writeString(root.resolve("D.java"), "class D implements Api {}");
+
+        DirectorySource source = new DirectorySource(root);
+        RegexExtractor extractor = new RegexExtractor();
+        HierarchyIndex expected = Indexer.index(source, extractor, new SequentialStrategy(), 1);
+        assertEquals(Map.of("Base", Set.of("A", "C"), "Api", Set.of("B", "D")), expected.asMap());
+
+        for (String name : Strategies.names()) {
+            assertEquals(expected.asMap(), Indexer.index(source, extractor, Strategies.byName(name), 4).asMap(), name);
+        }
+    }
+}
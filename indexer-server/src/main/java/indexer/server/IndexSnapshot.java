@@ -0,0 +1,71 @@
+package indexer.server;
+
+import indexer.HierarchyIndex;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Неизменяемая копия {@link HierarchyIndex} для чтения: отсортированный массив родителей и массивы наследников.
+ * Поиск точного имени и префикса - двоичный поиск без блокировок, поэтому снимок можно читать из любого числа потоков.
+ */
+public final class IndexSnapshot {
+    private final long generation;
+    private final String[] parents;
+    private final String[][] children;
+    private final long totalImplementations;
+
+    private IndexSnapshot(long generation, String[] parents, String[][] children, long totalImplementations) {
+        this.generation = generation;
+        this.parents = parents;
+        this.children = children;
+        this.totalImplementations = totalImplementations;
+    }
+
+    public static IndexSnapshot of(HierarchyIndex index, long generation) {
+        Map<String, Set<String>> map = index.asMap();
+        String[] parents = map.keySet().toArray(new String[0]);
+        Arrays.sort(parents);
+        String[][] children = new String[parents.length][];
+        for (int i = 0; i < parents.length; i++) {
+            children[i] = map.get(parents[i]).toArray(new String[0]);
+            Arrays.sort(children[i]);
+        }
+        return new IndexSnapshot(generation, parents, children, index.totalImplementations());
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public int size() {
+        return parents.length;
+    }
+
+    public long totalImplementations() {
+        return totalImplementations;
+    }
+
+    /**
+     * Прямые наследники, или null, если такого родителя в индексе нет.
+     */
+    public String[] implementations(String parent) {
+        int i = Arrays.binarySearch(parents, parent);
+        return i >= 0 ? children[i] : null;
+    }
+
+    /**
+     * Не больше {@code limit} родителей, имена которых начинаются с {@code prefix}, по алфавиту.
+     */
+    public void searchPrefix(String prefix, int limit, BiConsumer<String, String[]> action) {
+        int i = Arrays.binarySearch(parents, prefix);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        for (int found = 0; i < parents.length && found < limit && parents[i].startsWith(prefix); i++, found++) {
+            action.accept(parents[i], children[i]);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package indexer.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import indexer.HierarchyIndex;
+import indexer.Indexer;
+import indexer.exec.ExecutionConfig;
+import indexer.exec.ExecutionStrategy;
+import indexer.exec.Strategies;
+import indexer.extract.Extractor;
+import indexer.source.SourceProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Локальный HTTP-сервер запросов к индексу, чтобы не пересканировать репозиторий на каждый вопрос.
+ *
+ * <pre>
+ * GET  /implementations?name=X       прямые наследники X, по одному в строке (404, если X нет в индексе)
+ * GET  /search?prefix=P[&amp;limit=N]   родители, начинающиеся с P, в формате "родитель -> [наследники]",
+ *                                    limit от 1, больше {@value #MAX_LIMIT} урезается
+ * GET  /stats                        поколение снимка и размеры индекса
+ * POST /reload                       пересобрать индекс в фоне (409, если пересборка уже идёт)
+ * </pre>
+ *
+ * Пути сверяются целиком: /statsX или /implementations/foo получают 404.
+ *
+ * Ответы читаются из неизменяемого {@link IndexSnapshot}; новый снимок подменяется одной атомарной записью,
+ * так что запросы во время пересборки обслуживаются старым снимком без ожидания.
+ */
+public class QueryServer {
+    private static final String USAGE = "Использование: [--source dir:PATH|archive:PATH|generated:N]"
+            + " [--extractor regex|bytecode] [--strategy NAME] [--threads N]"
+            + " [--read-threads N] [--extract-threads N] [--buffer N] [--port N] [--reload-seconds N]"
+            + " [--reload-timeout-seconds N]";
+    private static final long CACHE_BYTES = 64L * 1024 * 1024;
+    private static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1_000;
+    static final Duration DEFAULT_RELOAD_TIMEOUT = Duration.ofMinutes(10);
+
+    private record Served(IndexSnapshot snapshot, ResponseCache cache) {
+    }
+
+    private final SourceProvider source;
+    private final Extractor extractor;
+    private final ExecutionStrategy strategy;
+    private final ExecutionConfig config;
+    private final Duration reloadTimeout;
+    private final AtomicReference<Served> served = new AtomicReference<>();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final ExecutorService reloader = Executors.newSingleThreadExecutor(r -> new Thread(r, "reloader"));
+    // Отменённая сборка может не сразу отреагировать на прерывание; один поток не даёт ей пересечься со следующей
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(r -> new Thread(r, "rebuild"));
+
+    public QueryServer(SourceProvider source, Extractor extractor, ExecutionStrategy strategy, ExecutionConfig config) {
+        this(source, extractor, strategy, config, DEFAULT_RELOAD_TIMEOUT);
+    }
+
+    public QueryServer(SourceProvider source, Extractor extractor, ExecutionStrategy strategy, ExecutionConfig config,
+                       Duration reloadTimeout) {
+        if (reloadTimeout.isNegative() || reloadTimeout.isZero()) {
+            throw new IllegalArgumentException("Время на пересборку должно быть положительным: " + reloadTimeout);
+        }
+        this.source = source;
+        this.extractor = extractor;
+        this.strategy = strategy;
+        this.config = config;
+        this.reloadTimeout = reloadTimeout;
+    }
+
+    public IndexSnapshot snapshot() {
+        return served.get().snapshot();
+    }
+
+    ResponseCache cache() {
+        return served.get().cache();
+    }
+
+    /**
+     * Собирает индекс и публикует его как новый снимок. Вызывается только из одного потока за раз.
+     */
+    void rebuild() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        publish(Indexer.index(source, extractor, strategy, config), start);
+    }
+
+    private void publish(HierarchyIndex index, long start) {
+        Served previous = served.get();
+        long generation = previous == null ? 1 : previous.snapshot().generation() + 1;
+        IndexSnapshot snapshot = IndexSnapshot.of(index, generation);
+        served.set(new Served(snapshot, new ResponseCache(CACHE_BYTES)));
+        System.out.printf("Снимок %d: родителей %d, реализаций %d, %.3f s%n",
+                generation, snapshot.size(), snapshot.totalImplementations(), (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Запускает пересборку в фоне. Возвращает false, если пересборка уже идёт.
+     * Сборка, не уложившаяся в отведённое время, отменяется, и её результат не публикуется.
+     */
+    public boolean reloadAsync() {
+        if (!reloading.compareAndSet(false, true)) {
+            return false;
+        }
+        reloader.execute(() -> {
+            long start = System.nanoTime();
+            Future<HierarchyIndex> build = builder.submit(() -> Indexer.index(source, extractor, strategy, config));
+            try {
+                publish(build.get(reloadTimeout.toNanos(), TimeUnit.NANOSECONDS), start);
+            } catch (TimeoutException e) {
+                build.cancel(true);
+                System.err.println("Пересборка индекса не уложилась в " + reloadTimeout.toSeconds() + " s и отменена");
+            } catch (ExecutionException e) {
+                System.err.println("Ошибка пересборки индекса:");
+                e.getCause().printStackTrace();
+            } catch (InterruptedException e) {
+                build.cancel(true);
+                Thread.currentThread().interrupt();
+            } finally {
+                reloading.set(false);
+            }
+        });
+        return true;
+    }
+
+    public HttpServer start(int port) throws IOException {
+        // Заголовки и тело пишутся отдельно, и без TCP_NODELAY каждый ответ на keep-alive соединении
+        // ждёт ~40 мс delayed ACK. Свойство читается при первом создании сервера, поэтому ставим его заранее.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/implementations", exchange -> handleQuery(exchange, QueryServer::implementations));
+        server.createContext("/search", exchange -> handleQuery(exchange, QueryServer::search));
+        server.createContext("/stats", this::handleStats);
+        server.createContext("/reload", this::handleReload);
+        server.start();
+        return server;
+    }
+
+    /**
+     * Разобранный запрос: ключ кэша строится из нормализованных параметров, а не из URI,
+     * чтобы лишние параметры и разные записи одного значения не плодили копии ответа.
+     */
+    private record Query(String cacheKey, Function<IndexSnapshot, byte[]> answer) {
+    }
+
+    private interface QueryParser {
+        Query parse(Map<String, String> params);
+    }
+
+    /**
+     * createContext сопоставляет пути по префиксу, поэтому хвост после пути контекста отсекается здесь.
+     */
+    private static boolean exactPath(HttpExchange exchange) throws IOException {
+        if (exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+            return true;
+        }
+        send(exchange, 404, "Не найдено\n".getBytes(StandardCharsets.UTF_8));
+        return false;
+    }
+
+    private void handleQuery(HttpExchange exchange, QueryParser parser) throws IOException {
+        try (exchange) {
+            if (!exactPath(exchange)) {
+                return;
+            }
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "Только GET\n".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            Query query;
+            try {
+                query = parser.parse(params(exchange.getRequestURI().getRawQuery()));
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, (e.getMessage() + "\n").getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            // Снимок и кэш берутся одной парой, чтобы ответ из кэша всегда соответствовал снимку
+            Served current = served.get();
+            byte[] body = current.cache().get(query.cacheKey());
+            if (body == null) {
+                body = query.answer().apply(current.snapshot());
+                if (body == null) {
+                    send(exchange, 404, "Не найдено\n".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                current.cache().put(query.cacheKey(), body);
+            }
+            send(exchange, 200, body);
+        }
+    }
+
+    /**
+     * Статистика отдаётся мимо кэша: строка reloading меняется без смены снимка.
+     */
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exactPath(exchange)) {
+                return;
+            }
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "Только GET\n".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            send(exchange, 200, stats(served.get().snapshot()));
+        }
+    }
+
+    private void handleReload(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exactPath(exchange)) {
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "Только POST\n".getBytes(StandardCharsets.UTF_8));
+            } else if (reloadAsync()) {
+                send(exchange, 202, "Пересборка запущена\n".getBytes(StandardCharsets.UTF_8));
+            } else {
+                send(exchange, 409, "Пересборка уже идёт\n".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static Query implementations(Map<String, String> params) {
+        String name = params.get("name");
+        if (name == null) {
+            throw new IllegalArgumentException("Нужен параметр name");
+        }
+        return new Query("implementations\n" + name, snapshot -> {
+            String[] children = snapshot.implementations(name);
+            if (children == null) {
+                return null;
+            }
+            return (children.length == 0 ? "" : String.join("\n", children) + "\n").getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    private static Query search(Map<String, String> params) {
+        String prefix = params.getOrDefault("prefix", "");
+        int requested;
+        try {
+            requested = Integer.parseInt(params.getOrDefault("limit", String.valueOf(DEFAULT_LIMIT)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("limit должен быть числом");
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("limit должен быть не меньше 1");
+        }
+        int limit = Math.min(requested, MAX_LIMIT);
+        return new Query("search\n" + limit + "\n" + prefix, snapshot -> {
+            StringBuilder out = new StringBuilder();
+            snapshot.searchPrefix(prefix, limit, (parent, children) ->
+                    out.append(parent).append(" -> [").append(String.join(", ", children)).append("]\n"));
+            return out.toString().getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    private byte[] stats(IndexSnapshot snapshot) {
+        return ("generation " + snapshot.generation() + "\n"
+                + "parents " + snapshot.size() + "\n"
+                + "implementations " + snapshot.totalImplementations() + "\n"
+                + "reloading " + reloading.get() + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> params(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String sourceSpec = "dir:spring-framework";
+        String extractorName = "regex";
+        String strategyName = "pool";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int readThreads = 0;
+        int extractThreads = 0;
+        int buffer = ExecutionConfig.DEFAULT_BUFFER;
+        int port = 8080;
+        int reloadSeconds = 0;
+        int reloadTimeoutSeconds = (int) DEFAULT_RELOAD_TIMEOUT.toSeconds();
+
+        QueryServer queryServer;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--source" -> sourceSpec = args[++i];
+                    case "--extractor" -> extractorName = args[++i];
+                    case "--strategy" -> strategyName = args[++i];
+                    case "--threads" -> threads = Indexer.positive("--threads", args[++i]);
+                    case "--read-threads" -> readThreads = Indexer.positive("--read-threads", args[++i]);
+                    case "--extract-threads" -> extractThreads = Indexer.positive("--extract-threads", args[++i]);
+                    case "--buffer" -> buffer = Indexer.positive("--buffer", args[++i]);
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--reload-seconds" -> reloadSeconds = Integer.parseInt(args[++i]);
+                    case "--reload-timeout-seconds" ->
+                            reloadTimeoutSeconds = Indexer.positive("--reload-timeout-seconds", args[++i]);
+                    default -> throw new IllegalArgumentException("Неизвестный аргумент: " + args[i]);
+                }
+            }
+            ExecutionConfig config = new ExecutionConfig(threads, readThreads > 0 ? readThreads : threads,
+                    extractThreads > 0 ? extractThreads : threads, buffer);
+            queryServer = new QueryServer(Indexer.source(sourceSpec), Indexer.extractor(extractorName),
+                    Strategies.byName(strategyName), config, Duration.ofSeconds(reloadTimeoutSeconds));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        queryServer.rebuild();
+        HttpServer server = queryServer.start(port);
+        System.out.println("Сервер запущен: http://localhost:" + server.getAddress().getPort());
+
+        if (reloadSeconds > 0) {
+            ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "reload-timer");
+                t.setDaemon(true);
+                return t;
+            });
+            timer.scheduleAtFixedRate(queryServer::reloadAsync, reloadSeconds, reloadSeconds, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package indexer.server;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш готовых тел ответов, ограниченный суммарным размером в байтах. Создаётся заново для каждого снимка,
+ * поэтому устаревшие ответы после перезагрузки индекса не отдаются и инвалидация не нужна.
+ *
+ * <p>Чтение не берёт блокировок: попадание только обновляет время последнего доступа записи.
+ * LRU приблизительный - при переполнении один поток сортирует записи по этому времени и выбрасывает
+ * самые старые, пока кэш не опустится до трёх четвертей бюджета.
+ */
+final class ResponseCache {
+    /**
+     * Примерные накладные расходы на запись сверх тела и ключа.
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private static final class Entry {
+        final byte[] body;
+        final long bytes;
+        volatile long lastAccess;
+
+        Entry(String key, byte[] body) {
+            this.body = body;
+            this.bytes = body.length + 2L * key.length() + ENTRY_OVERHEAD;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+
+    private record Candidate(String key, Entry entry, long lastAccess) {
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final long maxBytes;
+
+    ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.body;
+    }
+
+    void put(String key, byte[] body) {
+        Entry entry = new Entry(key, body);
+        // Ответ, занимающий заметную долю бюджета, вытеснил бы всё остальное: такие не кэшируем
+        if (entry.bytes > maxBytes / 8) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        totalBytes.addAndGet(entry.bytes - (previous == null ? 0 : previous.bytes));
+        if (totalBytes.get() > maxBytes) {
+            evict();
+        }
+    }
+
+    long bytes() {
+        return totalBytes.get();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Время доступа фиксируется заранее: читатели меняют его во время сортировки
+            List<Candidate> oldest = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> oldest.add(new Candidate(key, entry, entry.lastAccess)));
+            oldest.sort(Comparator.comparingLong(Candidate::lastAccess));
+            long target = maxBytes - maxBytes / 4;
+            for (Candidate c : oldest) {
+                if (totalBytes.get() <= target) {
+                    break;
+                }
+                if (entries.remove(c.key(), c.entry())) {
+                    totalBytes.addAndGet(-c.entry().bytes);
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package indexer.server;
+
+import indexer.HierarchyIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexSnapshotTest {
+
+    private static IndexSnapshot snapshot() {
+        HierarchyIndex index = new HierarchyIndex();
+        index.add("Alpha", "A2");
+        index.add("Alpha", "A1");
+        index.add("AlphaBeta", "AB");
+        index.add("Beta", "B");
+        index.add("Gamma", "G");
+        return IndexSnapshot.of(index, 7);
+    }
+
+    private static List<String> search(IndexSnapshot snapshot, String prefix, int limit) {
+        List<String> found = new ArrayList<>();
+        snapshot.searchPrefix(prefix, limit, (parent, children) -> found.add(parent));
+        return found;
+    }
+
+    @Test
+    void lookupReturnsSortedChildren() {
+        IndexSnapshot snapshot = snapshot();
+
+        assertArrayEquals(new String[]{"A1", "A2"}, snapshot.implementations("Alpha"));
+        assertNull(snapshot.implementations("Delta"));
+        assertNull(snapshot.implementations("Alph"));
+        assertEquals(7, snapshot.generation());
+        assertEquals(4, snapshot.size());
+        assertEquals(5, snapshot.totalImplementations());
+    }
+
+    @Test
+    void prefixSearch() {
+        IndexSnapshot snapshot = snapshot();
+
+        assertEquals(List.of("Alpha", "AlphaBeta"), search(snapshot, "Alpha", 10));
+        assertEquals(List.of("Alpha", "AlphaBeta"), search(snapshot, "A", 10));
+        assertEquals(List.of("Beta"), search(snapshot, "Beta", 10));
+    }
+
+    @Test
+    void emptyPrefixListsEverythingUpToLimit() {
+        IndexSnapshot snapshot = snapshot();
+
+        assertEquals(List.of("Alpha", "AlphaBeta", "Beta"), search(snapshot, "", 3));
+        assertEquals(List.of("Alpha", "AlphaBeta", "Beta", "Gamma"), search(snapshot, "", 100));
+    }
+
+    @Test
+    void prefixPastTheEndFindsNothing() {
+        IndexSnapshot snapshot = snapshot();
+
+        assertTrue(search(snapshot, "Zeta", 10).isEmpty());
+        assertTrue(search(snapshot, "Gammas", 10).isEmpty());
+        assertTrue(search(snapshot, "Al\uffff", 10).isEmpty());
+    }
+
+    @Test
+    void nonPositiveLimitFindsNothing() {
+        IndexSnapshot snapshot = snapshot();
+
+        assertTrue(search(snapshot, "", 0).isEmpty());
+        assertTrue(search(snapshot, "Alpha", -1).isEmpty());
+    }
+
+    @Test
+    void emptyIndex() {
+        IndexSnapshot snapshot = IndexSnapshot.of(new HierarchyIndex(), 1);
+
+        assertNull(snapshot.implementations("Alpha"));
+        assertTrue(search(snapshot, "", 10).isEmpty());
+    }
+}
@@ -0,0 +1,93 @@
+package indexer.server;
+
+import com.sun.net.httpserver.HttpServer;
+import indexer.exec.ExecutionConfig;
+import indexer.exec.PoolStrategy;
+import indexer.extract.RegexExtractor;
+import indexer.source.GeneratedSource;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Замер задержки /implementations на сгенерированном корпусе: один клиент, одно keep-alive соединение,
+ * половина запросов по интерфейсам (длинные ответы), половина по классам. Не запускается surefire,
+ * запуск вручную после {@code mvn test-compile}:
+ *
+ * <pre>
+ * java -cp indexer-server/target/test-classes:indexer-server/target/classes:indexer-core/target/classes \
+ *      indexer.server.QueryServerBenchmark [файлов] [запросов]
+ * </pre>
+ */
+public class QueryServerBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int files = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int warmup = requests / 5;
+
+        QueryServer queryServer = new QueryServer(new GeneratedSource(files), new RegexExtractor(), new PoolStrategy(),
+                ExecutionConfig.of(Runtime.getRuntime().availableProcessors()));
+        queryServer.rebuild();
+        HttpServer server = queryServer.start(0);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getAddress().getPort())) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            Random random = new Random(1);
+            long[] latencies = new long[requests];
+
+            for (int i = 0; i < warmup + requests; i++) {
+                String name = i % 2 == 0 ? "I" + random.nextInt(50) : "C" + random.nextInt(files);
+                long start = System.nanoTime();
+                out.write(("GET /implementations?name=" + name + " HTTP/1.1\r\nHost: localhost\r\n\r\n")
+                        .getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                readResponse(in);
+                if (i >= warmup) {
+                    latencies[i - warmup] = System.nanoTime() - start;
+                }
+            }
+
+            Arrays.sort(latencies);
+            System.out.printf("Запросов %d: p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms%n", requests,
+                    latencies[requests / 2] / 1e6, latencies[(int) (requests * 0.99)] / 1e6,
+                    latencies[(int) (requests * 0.999)] / 1e6);
+        } finally {
+            server.stop(0);
+            System.exit(0);
+        }
+    }
+
+    private static void readResponse(InputStream in) throws IOException {
+        int length = 0;
+        StringBuilder line = new StringBuilder();
+        while (true) {
+            line.setLength(0);
+            int ch;
+            while ((ch = in.read()) != '\n') {
+                if (ch < 0) {
+                    throw new IOException("соединение закрыто");
+                }
+                if (ch != '\r') {
+                    line.append((char) ch);
+                }
+            }
+            if (line.isEmpty()) {
+                break;
+            }
+            String header = line.toString().toLowerCase();
+            if (header.startsWith("content-length:")) {
+                length = Integer.parseInt(header.substring("content-length:".length()).trim());
+            }
+        }
+        in.readNBytes(length);
+    }
+}
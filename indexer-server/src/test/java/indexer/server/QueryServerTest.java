@@ -0,0 +1,234 @@
+package indexer.server;
+
+import com.sun.net.httpserver.HttpServer;
+import indexer.exec.ExecutionConfig;
+import indexer.exec.SequentialStrategy;
+import indexer.extract.RegexExtractor;
+import indexer.source.GeneratedSource;
+import indexer.source.SourceProvider;
+import indexer.source.SourceUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private HttpServer server;
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private QueryServer start(SourceProvider source) throws Exception {
+        QueryServer queryServer = new QueryServer(source, new RegexExtractor(), new SequentialStrategy(),
+                ExecutionConfig.of(1));
+        queryServer.rebuild();
+        server = queryServer.start(0);
+        return queryServer;
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + path);
+        return client.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<String> post(String path) throws Exception {
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + path);
+        return client.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static SourceProvider single(AtomicReference<String> code) {
+        return accept -> Stream.of(SourceUnit.of("A.java", code.get().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void answersLookupsAndSearches() throws Exception {
+        start(single(new AtomicReference<>("class A extends Base implements Api {}\nclass B implements Api {}")));
+
+        assertEquals("A\nB\n", get("/implementations?name=Api").body());
+        assertEquals(404, get("/implementations?name=Missing").statusCode());
+        assertEquals(400, get("/implementations").statusCode());
+        assertEquals("Api -> [A, B]\n", get("/search?prefix=Ap").body());
+        assertEquals(400, get("/search?limit=0").statusCode());
+        assertEquals(400, get("/search?limit=x").statusCode());
+        assertEquals(405, post("/search").statusCode());
+    }
+
+    @Test
+    void onlyExactPathsAreServed() throws Exception {
+        start(single(new AtomicReference<>("class A implements Api {}")));
+
+        assertEquals(200, get("/stats").statusCode());
+        assertEquals(404, get("/statsX").statusCode());
+        assertEquals(404, get("/stats/").statusCode());
+        assertEquals(404, get("/implementations/foo?name=Api").statusCode());
+        assertEquals(404, get("/searchAll?prefix=").statusCode());
+        assertEquals(404, post("/reload/now").statusCode());
+    }
+
+    @Test
+    void cacheKeyIgnoresExtraAndEncodedParameters() throws Exception {
+        QueryServer queryServer = start(new GeneratedSource(3_000));
+
+        String body = get("/search?prefix=C1&limit=5").body();
+        assertEquals(body, get("/search?prefix=C1&limit=5&n=1").body());
+        assertEquals(body, get("/search?limit=5&prefix=%43%31&n=2").body());
+        assertEquals(1, queryServer.cache().size());
+    }
+
+    @Test
+    void searchLimitIsCapped() throws Exception {
+        QueryServer queryServer = start(new GeneratedSource(3_000));
+
+        String capped = get("/search?prefix=&limit=100000000&n=1").body();
+        assertEquals(QueryServer.MAX_LIMIT, capped.lines().count());
+        assertEquals(capped, get("/search?prefix=&limit=" + QueryServer.MAX_LIMIT).body());
+        assertEquals(1, queryServer.cache().size());
+    }
+
+    @Test
+    void rebuildSwapsSnapshotAndCacheTogether() throws Exception {
+        AtomicReference<String> code = new AtomicReference<>("class A extends Base {}");
+        QueryServer queryServer = start(single(code));
+        assertEquals("A\n", get("/implementations?name=Base").body());
+        assertEquals("A\n", get("/implementations?name=Base").body());
+
+        code.set("class B extends Base {}");
+        queryServer.rebuild();
+
+        assertEquals(2, queryServer.snapshot().generation());
+        assertEquals("B\n", get("/implementations?name=Base").body());
+        assertTrue(get("/stats").body().startsWith("generation 2\n"));
+    }
+
+    @Test
+    void readersSeeWholeSnapshotsDuringRebuilds() throws Exception {
+        String first = "class A extends Base {}\nclass X implements One {}";
+        String second = "class B extends Base {}\nclass Y implements Two {}";
+        AtomicReference<String> code = new AtomicReference<>(first);
+        QueryServer queryServer = start(single(code));
+        Set<String> allowed = Set.of("Base -> [A]\nOne -> [X]\n", "Base -> [B]\nTwo -> [Y]\n");
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<List<String>>> readers = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int r = 0; r < 4; r++) {
+                readers.add(pool.submit(() -> {
+                    List<String> unexpected = new ArrayList<>();
+                    while (running.get()) {
+                        String body = get("/search?prefix=").body();
+                        if (!allowed.contains(body)) {
+                            unexpected.add(body);
+                        }
+                    }
+                    return unexpected;
+                }));
+            }
+            for (int i = 0; i < 50; i++) {
+                code.set(i % 2 == 0 ? second : first);
+                queryServer.rebuild();
+            }
+            running.set(false);
+            for (Future<List<String>> reader : readers) {
+                assertEquals(List.of(), reader.get());
+            }
+        }
+    }
+
+    @Test
+    void slowReloadIsCancelledAndNotPublished() throws Exception {
+        AtomicBoolean block = new AtomicBoolean(false);
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+        SourceProvider source = accept -> {
+            if (block.get()) {
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // Результат отменённой сборки всё равно возвращается: он не должен попасть в снимок
+            return Stream.of(SourceUnit.of("A.java", "class B extends Base {}".getBytes(StandardCharsets.UTF_8)));
+        };
+        QueryServer queryServer = new QueryServer(source, new RegexExtractor(), new SequentialStrategy(),
+                ExecutionConfig.of(1), Duration.ofMillis(200));
+        queryServer.rebuild();
+        server = queryServer.start(0);
+
+        block.set(true);
+        assertTrue(queryServer.reloadAsync());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!interrupted.get() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(interrupted.get());
+        while (get("/stats").body().contains("reloading true") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(get("/stats").body().contains("reloading false"));
+        assertEquals(1, queryServer.snapshot().generation());
+
+        block.set(false);
+        assertTrue(queryServer.reloadAsync());
+        while (queryServer.snapshot().generation() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, queryServer.snapshot().generation());
+    }
+
+    @Test
+    void statsReflectReloadInProgress() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean block = new AtomicBoolean(false);
+        SourceProvider source = accept -> {
+            if (block.get()) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Stream.of(SourceUnit.of("A.java", "class A extends Base {}".getBytes(StandardCharsets.UTF_8)));
+        };
+        QueryServer queryServer = start(source);
+        assertTrue(get("/stats").body().contains("reloading false"));
+
+        block.set(true);
+        assertEquals(202, post("/reload").statusCode());
+        assertTrue(get("/stats").body().contains("reloading true"));
+        assertEquals(409, post("/reload").statusCode());
+        assertEquals("A\n", get("/implementations?name=Base").body());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queryServer.snapshot().generation() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, queryServer.snapshot().generation());
+        while (get("/stats").body().contains("reloading true") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(get("/stats").body().contains("reloading false"));
+    }
+}
@@ -0,0 +1,53 @@
+package indexer.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+    private static final int MAX_BYTES = 64 * 1024;
+
+    @Test
+    void staysWithinByteBudget() {
+        ResponseCache cache = new ResponseCache(MAX_BYTES);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("key" + i, new byte[1_000]);
+            assertTrue(cache.bytes() <= MAX_BYTES, "после " + i + ": " + cache.bytes());
+        }
+        assertTrue(cache.size() > 0);
+    }
+
+    @Test
+    void recentlyUsedEntrySurvivesEviction() {
+        ResponseCache cache = new ResponseCache(MAX_BYTES);
+        byte[] hot = {1, 2, 3};
+        cache.put("hot", hot);
+        for (int i = 0; i < 1_000; i++) {
+            assertSame(hot, cache.get("hot"));
+            cache.put("cold" + i, new byte[1_000]);
+        }
+
+        assertSame(hot, cache.get("hot"));
+        assertNull(cache.get("cold0"));
+    }
+
+    @Test
+    void oversizedBodyIsNotCached() {
+        ResponseCache cache = new ResponseCache(MAX_BYTES);
+        cache.put("big", new byte[MAX_BYTES / 4]);
+
+        assertNull(cache.get("big"));
+        assertEquals(0, cache.bytes());
+    }
+
+    @Test
+    void replacingEntryDoesNotLeakBytes() {
+        ResponseCache cache = new ResponseCache(MAX_BYTES);
+        cache.put("key", new byte[100]);
+        long once = cache.bytes();
+        cache.put("key", new byte[100]);
+
+        assertEquals(once, cache.bytes());
+        assertEquals(1, cache.size());
+    }
+}